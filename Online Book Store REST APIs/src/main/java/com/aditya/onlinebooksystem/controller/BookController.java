@@ -2,10 +2,15 @@ package com.aditya.onlinebooksystem.controller;
 
 import com.aditya.onlinebooksystem.dto.BookResponseDto;
 import com.aditya.onlinebooksystem.dto.BookFilterRequestDto;
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookSearchResultDto;
+import com.aditya.onlinebooksystem.dto.BookTextSearchRequestDto;
 import com.aditya.onlinebooksystem.service.BookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -49,4 +54,57 @@ public class BookController {
         List<BookResponseDto> books = bookService.filterAndSearchBooks(filterRequest);
         return books.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(books);
     }
+
+    /**
+     * Full-text search across title, author and description, ranked by relevance (BM25)
+     * Accepts query params:
+     * - q (keywords, required)
+     * - minPages, maxPages, rating (optional filters, same as /search)
+     * - limit (default 20, max 100)
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<List<BookSearchResultDto>> fullTextSearch(@Valid BookTextSearchRequestDto searchRequest) {
+        List<BookSearchResultDto> results = bookService.fullTextSearch(searchRequest);
+        return results.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(results);
+    }
+
+    /**
+     * Create a new book
+     */
+    @PostMapping
+    public ResponseEntity<BookResponseDto> createBook(
+            @Validated(BookRequestDto.OnCreate.class) @RequestBody BookRequestDto request) {
+        BookResponseDto book = bookService.createBook(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(book);
+    }
+
+    /**
+     * Update a book's title, author, pages and description (rating only changes through bumps).
+     * The body must carry the version it was read at: 400 Bad Request if missing,
+     * 409 Conflict if the book changed since
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<BookResponseDto> updateBook(
+            @PathVariable Long id, @Validated(BookRequestDto.OnUpdate.class) @RequestBody BookRequestDto request) {
+        return ResponseEntity.ok(bookService.updateBook(id, request));
+    }
+
+    /**
+     * Delete a book by its ID
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
+        bookService.deleteBook(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Bump a book's rating by delta (e.g. from a review), -5.0 to 5.0
+     * Returns 202 Accepted: the update is written behind in batches
+     */
+    @PostMapping("/{id}/rating")
+    public ResponseEntity<Void> bumpRating(@PathVariable Long id, @RequestParam double delta) {
+        bookService.bumpRating(id, delta);
+        return ResponseEntity.accepted().build();
+    }
 }
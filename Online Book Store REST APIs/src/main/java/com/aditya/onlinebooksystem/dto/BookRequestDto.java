@@ -0,0 +1,52 @@
+package com.aditya.onlinebooksystem.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookRequestDto {
+
+    @NotBlank
+    private String title;
+
+    @NotBlank
+    private String author;
+
+    @NotNull
+    @Min(1)
+    private Integer pages;
+
+    @NotNull(groups = OnCreate.class)
+    @Min(0)
+    @DecimalMax("5.0")
+    private Double rating; // initial rating, ignored on update (only rating bumps change it afterwards)
+
+    @Size(max = 1000)
+    private String description;
+
+    @NotNull(groups = OnUpdate.class)
+    private Long version; // required on update, ignored on create (optimistic locking)
+
+    /**
+     * Validation group for create requests
+     */
+    public interface OnCreate extends Default {
+    }
+
+    /**
+     * Validation group for update requests
+     */
+    public interface OnUpdate extends Default {
+    }
+}
@@ -17,4 +17,5 @@ public class BookResponseDto {
     private Integer pages;
     private Double rating;
     private String description;
+    private Long version;
 }
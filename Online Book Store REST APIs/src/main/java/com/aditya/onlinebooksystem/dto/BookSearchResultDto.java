@@ -0,0 +1,16 @@
+package com.aditya.onlinebooksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchResultDto {
+
+    private BookResponseDto book;
+    private float score; // BM25 relevance, higher is better
+}
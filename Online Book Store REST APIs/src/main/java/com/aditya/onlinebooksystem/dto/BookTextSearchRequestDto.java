@@ -0,0 +1,34 @@
+package com.aditya.onlinebooksystem.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookTextSearchRequestDto {
+
+    @NotBlank
+    @Size(max = 200)
+    private String q; // keywords matched against title, author and description
+
+    @Min(1)
+    private Integer minPages;
+
+    @Min(1)
+    private Integer maxPages;
+
+    @Min(0)
+    private Double rating;
+
+    @Min(1)
+    @Max(100)
+    private Integer limit = 20;
+}
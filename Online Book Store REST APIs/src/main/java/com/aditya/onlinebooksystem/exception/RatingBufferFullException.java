@@ -0,0 +1,8 @@
+package com.aditya.onlinebooksystem.exception;
+
+public class RatingBufferFullException extends RuntimeException {
+
+    public RatingBufferFullException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.aditya.onlinebooksystem.mapper;
 
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
 import com.aditya.onlinebooksystem.dto.BookResponseDto;
 import com.aditya.onlinebooksystem.model.Book;
 import org.modelmapper.ModelMapper;
@@ -24,4 +25,26 @@ public class BookMapper {
     public Book toEntity(BookResponseDto dto) {
         return modelMapper.map(dto, Book.class);
     }
+
+    /**
+     * Convert BookRequestDto to a new Book entity
+     * (id and version are left for JPA to assign)
+     */
+    public Book toEntity(BookRequestDto dto) {
+        Book book = new Book();
+        updateEntity(dto, book);
+        book.setRating(dto.getRating());
+        return book;
+    }
+
+    /**
+     * Copy the editable fields of BookRequestDto onto an existing Book entity
+     * (rating is left alone: after creation it only changes through rating bumps)
+     */
+    public void updateEntity(BookRequestDto dto, Book book) {
+        book.setTitle(dto.getTitle());
+        book.setAuthor(dto.getAuthor());
+        book.setPages(dto.getPages());
+        book.setDescription(dto.getDescription());
+    }
 }
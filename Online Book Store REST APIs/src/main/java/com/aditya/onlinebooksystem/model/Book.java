@@ -1,5 +1,6 @@
 package com.aditya.onlinebooksystem.model;
 
+import com.aditya.onlinebooksystem.search.BookIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "books")
+@EntityListeners(BookIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,9 +29,13 @@ public class Book {
     @Column(nullable = false)
     private Integer pages;
 
-    @Column(nullable = false)
+    // Written on insert and then only by RatingWriteBehindBuffer, so JPA updates never overwrite flushed bumps
+    @Column(nullable = false, updatable = false)
     private Double rating;
 
     @Column(length = 1000)
     private String description;
+
+    @Version
+    private Long version;
 }
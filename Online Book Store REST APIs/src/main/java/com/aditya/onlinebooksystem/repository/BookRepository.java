@@ -1,10 +1,17 @@
 package com.aditya.onlinebooksystem.repository;
 
 import com.aditya.onlinebooksystem.model.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    // Custom queries can be added here in future if needed
+
+    /**
+     * Keyset page: the next books after the given id, in id order (no OFFSET, no count query)
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
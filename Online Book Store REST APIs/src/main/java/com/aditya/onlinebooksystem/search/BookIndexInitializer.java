@@ -0,0 +1,55 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds the search index from the database on startup.
+ * Always done when bookstore.search.rebuild-on-startup is true (the default, since the dev database
+ * is in-memory); otherwise whenever the index was not closed cleanly (crash, or a change that could
+ * not be applied) or the index and the books table disagree on the number of books.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookIndexInitializer implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+
+    @Value("${bookstore.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long books = bookRepository.count();
+        if (!rebuildOnStartup && bookSearchIndex.wasClosedCleanly() && bookSearchIndex.count() == books) {
+            return;
+        }
+
+        log.info("Rebuilding book search index from {} books", books);
+        bookSearchIndex.deleteAll();
+        long lastId = Long.MIN_VALUE;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(PAGE_SIZE));
+            page.forEach(bookSearchIndex::index);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        bookSearchIndex.commit();
+        bookSearchIndex.refresh();
+    }
+}
@@ -0,0 +1,84 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.model.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * JPA entity listener that keeps BookSearchIndex in sync with every BookRepository write.
+ * Inside a transaction the index is only touched after commit, so rolled back writes never reach it.
+ *
+ * The index is updated from the committed row, re-read after commit, not from the entity: the entity's
+ * rating is whatever was loaded before a concurrent rating flush, and the after-commit callbacks of
+ * concurrent writes run on their own threads in any order. Reading and applying under
+ * BookSearchIndex.syncFromDatabase (shared with the rating flush) keeps the newest state in the index.
+ *
+ * Index failures are logged and never reach the caller, whose write has already been committed;
+ * the index is marked stale and repaired by the rebuild on the next startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookIndexListener {
+
+    private static final String SELECT_BOOK_SQL =
+            "SELECT id, title, author, pages, rating, description, version FROM books WHERE id = ?";
+
+    private static final RowMapper<Book> BOOK_ROW_MAPPER = new BeanPropertyRowMapper<>(Book.class);
+
+    private final BookSearchIndex bookSearchIndex;
+    // Looked up on use: Hibernate creates this listener while the EntityManagerFactory,
+    // which JdbcTemplate is initialized after, is still being built
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Book book) {
+        Long id = book.getId();
+        afterCommit(() -> applyQuietly(id, () -> bookSearchIndex.syncFromDatabase(() -> reindex(id))));
+    }
+
+    private void reindex(Long id) {
+        List<Book> rows = jdbcTemplate.getObject().query(SELECT_BOOK_SQL, BOOK_ROW_MAPPER, id);
+        if (rows.isEmpty()) {
+            bookSearchIndex.delete(id);
+        } else {
+            bookSearchIndex.index(rows.get(0));
+        }
+    }
+
+    private void applyQuietly(Long id, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException ex) {
+            bookSearchIndex.markStale();
+            log.warn("Could not apply book {} to the search index, it will be rebuilt on next startup", id, ex);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,345 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.model.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import com.aditya.onlinebooksystem.exception.InvalidRequestException;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.NumericUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded on-disk full-text index over title, author and description (Apache Lucene).
+ *
+ * Segments live in {@code bookstore.search.index-dir} and are read through memory-mapped files,
+ * so no external search service is needed. Hits are ranked with BM25 (Lucene's default similarity),
+ * with title and author matches boosted over description matches.
+ *
+ * Pages and rating are indexed as filter-only fields so keyword search can be combined with the
+ * existing filters. Rating is a doc value, which lets the rating write-behind flush update it
+ * in place without re-indexing the text.
+ *
+ * Writes become searchable after the next refresh ({@code refresh-interval-ms}) and are committed to
+ * disk every {@code commit-interval-ms}. Opening the index commits "clean-shutdown=false" in the commit
+ * user data right away, and so does every later commit; only close() records "true", and only if no
+ * index write was lost in between (see markStale).
+ * On startup BookIndexInitializer rebuilds the index from the database unless the last commit was
+ * a clean shutdown, so changes lost in a crash (including ones that don't change the book count)
+ * are repaired. Database changes made while the application is down are not detected.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex implements AutoCloseable {
+
+    private static final String CLEAN_SHUTDOWN = "clean-shutdown";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of("title", 3f, "author", 2f, "description", 1f);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final MMapDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final long refreshIntervalMs;
+    private final long commitIntervalMs;
+    private final boolean closedCleanly;
+    private volatile boolean stale;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "book-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookSearchIndex(@Value("${bookstore.search.index-dir:./data/book-index}") Path indexDir,
+                           @Value("${bookstore.search.refresh-interval-ms:100}") long refreshIntervalMs,
+                           @Value("${bookstore.search.commit-interval-ms:5000}") long commitIntervalMs) throws IOException {
+        this.directory = new MMapDirectory(indexDir);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.closedCleanly = readCleanShutdown(writer);
+        // Commit the marker now: until the first periodic commit a crash would otherwise leave "true" on disk
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "false").entrySet());
+        writer.commit();
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        maintenance.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::commitQuietly, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        maintenance.shutdown();
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, String.valueOf(!stale)).entrySet());
+        writer.close(); // commits pending changes
+        directory.close();
+        analyzer.close();
+    }
+
+    /**
+     * Add or replace the document of a book
+     */
+    public void index(Book book) {
+        try {
+            writer.updateDocument(idTerm(book.getId()), toDocument(book));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Update only the rating of an indexed book (no-op if the book is not indexed)
+     */
+    public void updateRating(Long id, double rating) {
+        try {
+            writer.updateNumericDocValue(idTerm(id), "rating", NumericUtils.doubleToSortableLong(rating));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Remove a book from the index
+     */
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(idTerm(id));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Run a step that reads committed rows from the database and applies them to the index.
+     * Steps run one at a time, so a step that read older state is never applied after one that read newer state
+     */
+    public void syncFromDatabase(Runnable readAndApply) {
+        syncLock.lock();
+        try {
+            readAndApply.run();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Remove every document (used before a rebuild)
+     */
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Whether the index on disk was last closed cleanly with every write applied,
+     * i.e. whether it can be trusted without a rebuild
+     */
+    public boolean wasClosedCleanly() {
+        return closedCleanly;
+    }
+
+    /**
+     * Record that a change could not be applied, so the next startup rebuilds the index
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Number of indexed books, including changes not yet refreshed
+     */
+    public long count() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Make all changes so far visible to search
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Make all changes so far durable on disk
+     */
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * BM25-ranked keyword search over title, author and description, restricted by the optional filters
+     */
+    public List<Hit> search(String keywords, Integer minPages, Integer maxPages, Double minRating, int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parse(keywords), BooleanClause.Occur.MUST);
+        if (minPages != null || maxPages != null) {
+            query.add(IntPoint.newRangeQuery("pages",
+                    minPages == null ? Integer.MIN_VALUE : minPages,
+                    maxPages == null ? Integer.MAX_VALUE : maxPages), BooleanClause.Occur.FILTER);
+        }
+        if (minRating != null) {
+            query.add(NumericDocValuesField.newSlowRangeQuery("rating",
+                    NumericUtils.doubleToSortableLong(minRating), Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] scoreDocs = searcher.search(query.build(), limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Hit> hits = new ArrayList<>(scoreDocs.length);
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    Long id = Long.valueOf(storedFields.document(scoreDoc.doc).get("id"));
+                    hits.add(new Hit(id, scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Keywords are plain text, not query syntax: every analyzed token becomes a boosted
+     * TermQuery per field, so words like AND/OR/NOT are just searched for
+     */
+    private Query parse(String keywords) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+            for (String token : tokens(field.getKey(), keywords)) {
+                Query termQuery = new TermQuery(new Term(field.getKey(), token));
+                query.add(new BoostQuery(termQuery, field.getValue()), BooleanClause.Occur.SHOULD);
+                clauses++;
+            }
+        }
+        if (clauses == 0) {
+            throw new InvalidRequestException("Search query has no searchable words: " + keywords);
+        }
+        return query.build();
+    }
+
+    private Set<String> tokens(String field, String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return tokens;
+    }
+
+    private static Document toDocument(Book book) {
+        Document doc = new Document();
+        doc.add(new StringField("id", book.getId().toString(), Field.Store.YES));
+        doc.add(new TextField("title", book.getTitle(), Field.Store.NO));
+        doc.add(new TextField("author", book.getAuthor(), Field.Store.NO));
+        if (book.getDescription() != null) {
+            doc.add(new TextField("description", book.getDescription(), Field.Store.NO));
+        }
+        doc.add(new IntPoint("pages", book.getPages()));
+        doc.add(new NumericDocValuesField("rating", NumericUtils.doubleToSortableLong(book.getRating())));
+        return doc;
+    }
+
+    private static boolean readCleanShutdown(IndexWriter writer) {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (entry.getKey().equals(CLEAN_SHUTDOWN)) {
+                return Boolean.parseBoolean(entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term("id", id.toString());
+    }
+
+    private void refreshQuietly() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Book search index refresh failed", ex);
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Book search index commit failed", ex);
+        }
+    }
+
+    /**
+     * A matching book id and its BM25 score
+     */
+    public record Hit(Long id, float score) {
+    }
+}
@@ -2,6 +2,9 @@ package com.aditya.onlinebooksystem.service;
 
 import com.aditya.onlinebooksystem.dto.BookResponseDto;
 import com.aditya.onlinebooksystem.dto.BookFilterRequestDto;
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookSearchResultDto;
+import com.aditya.onlinebooksystem.dto.BookTextSearchRequestDto;
 
 import java.util.List;
 
@@ -21,4 +24,33 @@ public interface BookService {
      * Filter and search books based on pages, rating, or title
      */
     List<BookResponseDto> filterAndSearchBooks(BookFilterRequestDto filterRequest);
+
+    /**
+     * Keyword search over title, author and description, ranked by relevance (BM25)
+     * and optionally restricted by pages and rating
+     */
+    List<BookSearchResultDto> fullTextSearch(BookTextSearchRequestDto searchRequest);
+
+    /**
+     * Create a new book
+     */
+    BookResponseDto createBook(BookRequestDto request);
+
+    /**
+     * Update an existing book (everything but the rating); fails with an optimistic locking error
+     * if the request version is missing or does not match the stored version
+     */
+    BookResponseDto updateBook(Long id, BookRequestDto request);
+
+    /**
+     * Delete a book by its ID
+     */
+    void deleteBook(Long id);
+
+    /**
+     * Add a rating delta to a book (e.g. from a new review).
+     * The update is buffered and written behind, so it is not visible to reads immediately.
+     * Deltas for unknown books are accepted and dropped by the flush.
+     */
+    void bumpRating(Long id, double delta);
 }
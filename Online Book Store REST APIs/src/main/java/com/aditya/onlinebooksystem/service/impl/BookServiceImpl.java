@@ -2,24 +2,37 @@ package com.aditya.onlinebooksystem.service.impl;
 
 import com.aditya.onlinebooksystem.dto.BookResponseDto;
 import com.aditya.onlinebooksystem.dto.BookFilterRequestDto;
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookSearchResultDto;
+import com.aditya.onlinebooksystem.dto.BookTextSearchRequestDto;
 import com.aditya.onlinebooksystem.exception.BookNotFoundException;
+import com.aditya.onlinebooksystem.exception.InvalidRequestException;
 import com.aditya.onlinebooksystem.model.Book;
 import com.aditya.onlinebooksystem.repository.BookRepository;
 import com.aditya.onlinebooksystem.service.BookService;
 import com.aditya.onlinebooksystem.mapper.BookMapper;
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    private static final double MAX_RATING_DELTA = 5.0;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final RatingWriteBehindBuffer ratingBuffer;
+    private final BookSearchIndex bookSearchIndex;
 
     @Override
     public List<BookResponseDto> getAllBooks() {
@@ -50,4 +63,63 @@ public class BookServiceImpl implements BookService {
                 .map(bookMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<BookSearchResultDto> fullTextSearch(BookTextSearchRequestDto searchRequest) {
+        List<BookSearchIndex.Hit> hits = bookSearchIndex.search(searchRequest.getQ(),
+                searchRequest.getMinPages(), searchRequest.getMaxPages(), searchRequest.getRating(),
+                searchRequest.getLimit());
+
+        // One query for all hits, then put them back in relevance order
+        Map<Long, Book> books = bookRepository.findAllById(hits.stream().map(BookSearchIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> books.containsKey(hit.id())) // deleted since the last index refresh
+                .map(hit -> new BookSearchResultDto(bookMapper.toDto(books.get(hit.id())), hit.score()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public BookResponseDto createBook(BookRequestDto request) {
+        Book book = bookRepository.save(bookMapper.toEntity(request));
+        return bookMapper.toDto(book);
+    }
+
+    @Override
+    @Transactional
+    public BookResponseDto updateBook(Long id, BookRequestDto request) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
+        // Hibernate only checks the version loaded above, so compare the client's copy explicitly;
+        // a missing version is a conflict too, never a blind overwrite
+        if (!book.getVersion().equals(request.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, id);
+        }
+        bookMapper.updateEntity(request, book);
+        return bookMapper.toDto(bookRepository.saveAndFlush(book));
+    }
+
+    @Override
+    @Transactional
+    public void deleteBook(Long id) {
+        if (!bookRepository.existsById(id)) {
+            throw new BookNotFoundException("Book not found with id: " + id);
+        }
+        ratingBuffer.discard(id);
+        bookRepository.deleteById(id);
+    }
+
+    @Override
+    public void bumpRating(Long id, double delta) {
+        if (!Double.isFinite(delta) || Math.abs(delta) > MAX_RATING_DELTA) {
+            throw new InvalidRequestException("Rating delta must be a finite number between -"
+                    + MAX_RATING_DELTA + " and " + MAX_RATING_DELTA + ": " + delta);
+        }
+        // No existence check here: that would put a read back on every bump.
+        // The flush's UPDATE ... WHERE id = ? simply affects no row for unknown or deleted books.
+        ratingBuffer.bump(id, delta);
+    }
 }
@@ -0,0 +1,218 @@
+package com.aditya.onlinebooksystem.service.impl;
+
+import com.aditya.onlinebooksystem.exception.RatingBufferFullException;
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for high-frequency rating updates.
+ *
+ * Rating bumps are coalesced per book (deltas are summed) and written as a single
+ * JDBC batch, in one transaction, when either the number of dirty books reaches
+ * {@code maxBatchSize} or {@code flushIntervalMs} has elapsed.
+ *
+ * Durability: a bump is acknowledged once it is in memory, not once it is committed.
+ * While flushes succeed, a crash loses at most the bumps of the current window (one
+ * flush interval or one batch). A failed batch is rolled back and its deltas are merged
+ * back into the buffer to be retried by the next flush, so during a database outage the
+ * buffer holds every bump since the outage started and a crash loses all of them.
+ * The buffer is bounded: once {@code maxPendingBooks} books have a pending delta, bumps
+ * for further books are rejected with RatingBufferFullException (existing entries keep
+ * coalescing). A graceful shutdown flushes everything; if that final flush fails, the
+ * dropped deltas are logged. Until a flush happens, reads return the last committed rating.
+ *
+ * Clamping: the flush applies the summed delta and clamps the result to 0..5 once, which
+ * differs from clamping after every bump when the rating hits a bound within one window
+ * (e.g. 4.9, +0.5, -0.5 is 4.5 bump by bump but 4.9 coalesced).
+ *
+ * Flushes do not touch the entity version: rating is not updatable through JPA, so
+ * metadata edits and rating bumps never overwrite each other, and a busy book's
+ * edits are not turned away with optimistic locking conflicts on every flush.
+ * Deltas for unknown or deleted books are flushed too and simply update no row.
+ * After commit, the new ratings are copied into the search index so its rating
+ * filter stays in step with the database.
+ */
+@Slf4j
+@Component
+public class RatingWriteBehindBuffer {
+
+    private static final String BUMP_RATING_SQL =
+            "UPDATE books SET rating = LEAST(5.0, GREATEST(0.0, rating + ?)) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookSearchIndex bookSearchIndex;
+    private final int maxBatchSize;
+    private final int maxPendingBooks;
+    private final long flushIntervalMs;
+
+    private final ConcurrentHashMap<Long, Double> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean sizeFlushQueued = new AtomicBoolean();
+    private final AtomicLong committedRows = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rating-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RatingWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   BookSearchIndex bookSearchIndex,
+                                   @Value("${bookstore.rating-buffer.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${bookstore.rating-buffer.max-pending-books:100000}") int maxPendingBooks,
+                                   @Value("${bookstore.rating-buffer.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bookSearchIndex = bookSearchIndex;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPendingBooks = maxPendingBooks;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Final rating flush failed, dropping pending deltas of {} books", pending.size(), ex);
+        }
+    }
+
+    /**
+     * Buffer a rating delta for a book; returns without touching the database.
+     * Throws RatingBufferFullException if the book has no pending delta and the buffer is full
+     * (the size check is not atomic with the insert, so concurrent bumps may overshoot it slightly)
+     */
+    public void bump(Long bookId, double delta) {
+        if (pending.size() >= maxPendingBooks && !pending.containsKey(bookId)) {
+            throw new RatingBufferFullException("Rating updates are backed up, retry later: " + maxPendingBooks
+                    + " books have unflushed ratings");
+        }
+        pending.merge(bookId, delta, Double::sum);
+        if (pending.size() >= maxBatchSize && sizeFlushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                sizeFlushQueued.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Drop any buffered delta for a book (e.g. because it was deleted)
+     */
+    public void discard(Long bookId) {
+        pending.remove(bookId);
+    }
+
+    /**
+     * Number of books with a buffered, not yet flushed, delta
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Total rows written by committed batches since startup
+     */
+    public long committedRows() {
+        return committedRows.get();
+    }
+
+    /**
+     * Total batches committed since startup
+     */
+    public long committedBatches() {
+        return committedBatches.get();
+    }
+
+    /**
+     * Write all buffered deltas as JDBC batches; returns the number of rows flushed
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int flushed = 0;
+            List<Object[]> batch = new ArrayList<>(maxBatchSize);
+            for (Long bookId : pending.keySet()) {
+                // remove() hands this delta to the batch; bumps arriving later start a new entry
+                Double delta = pending.remove(bookId);
+                if (delta != null) {
+                    batch.add(new Object[]{delta, bookId});
+                }
+                if (batch.size() == maxBatchSize) {
+                    flushed += writeBatch(batch);
+                    batch = new ArrayList<>(maxBatchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushed += writeBatch(batch);
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writeBatch(List<Object[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(BUMP_RATING_SQL, batch));
+        } catch (RuntimeException ex) {
+            // Transaction rolled back: give the deltas back so the next flush retries them
+            batch.forEach(args -> pending.merge((Long) args[1], (Double) args[0], Double::sum));
+            throw ex;
+        }
+        committedRows.addAndGet(batch.size());
+        committedBatches.incrementAndGet();
+        syncSearchIndex(batch);
+        return batch.size();
+    }
+
+    private void syncSearchIndex(List<Object[]> batch) {
+        Object[] ids = batch.stream().map(args -> args[1]).toArray();
+        String placeholders = String.join(",", Collections.nCopies(ids.length, "?"));
+        RowCallbackHandler updateRating = rs -> bookSearchIndex.updateRating(rs.getLong("id"), rs.getDouble("rating"));
+        try {
+            bookSearchIndex.syncFromDatabase(() -> jdbcTemplate.query(
+                    "SELECT id, rating FROM books WHERE id IN (" + placeholders + ")", updateRating, ids));
+        } catch (RuntimeException ex) {
+            // The ratings are committed; the index catches up on the next rebuild
+            bookSearchIndex.markStale();
+            log.warn("Could not copy {} flushed ratings into the search index", ids.length, ex);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Rating write-behind flush failed, {} books will be retried", pending.size(), ex);
+        }
+    }
+}
@@ -1,6 +1,6 @@
-INSERT INTO books (title, author, pages, rating, description) VALUES
-('The Pragmatic Programmer', 'Andrew Hunt', 352, 4.7, 'A guide to pragmatic approaches for programming.'),
-('Clean Code', 'Robert C. Martin', 464, 4.8, 'Principles and best practices of writing clean code.'),
-('Effective Java', 'Joshua Bloch', 416, 4.9, 'Comprehensive guide to Java best practices.'),
-('Design Patterns', 'Erich Gamma', 395, 4.6, 'Elements of reusable object-oriented software.'),
-('Java Concurrency in Practice', 'Brian Goetz', 432, 4.5, 'In-depth coverage of Java concurrency concepts.');
+INSERT INTO books (title, author, pages, rating, description, version) VALUES
+('The Pragmatic Programmer', 'Andrew Hunt', 352, 4.7, 'A guide to pragmatic approaches for programming.', 0),
+('Clean Code', 'Robert C. Martin', 464, 4.8, 'Principles and best practices of writing clean code.', 0),
+('Effective Java', 'Joshua Bloch', 416, 4.9, 'Comprehensive guide to Java best practices.', 0),
+('Design Patterns', 'Erich Gamma', 395, 4.6, 'Elements of reusable object-oriented software.', 0),
+('Java Concurrency in Practice', 'Brian Goetz', 432, 4.5, 'In-depth coverage of Java concurrency concepts.', 0);
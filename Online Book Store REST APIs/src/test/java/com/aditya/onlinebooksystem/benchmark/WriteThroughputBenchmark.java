@@ -0,0 +1,202 @@
+package com.aditya.onlinebooksystem.benchmark;
+
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookResponseDto;
+import com.aditya.onlinebooksystem.service.BookService;
+import com.aditya.onlinebooksystem.service.impl.RatingWriteBehindBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sustained write benchmark against the full application context (H2 in-memory).
+ * Not picked up by a normal build (the name doesn't match surefire's includes); run it with:
+ * mvn test -Dtest=WriteThroughputBenchmark [-Dbookstore.bench.writers=64 ...]
+ *
+ * Runs three phases with the same number of concurrent writers against a set of freshly created hot books:
+ * 1. rating bumps through the write-behind buffer: reports accepted bumps/sec, and the rows and batches
+ *    the flusher actually committed per second, the longest gap between committed batches while the
+ *    writers run (how long an accepted bump can wait) and how long the buffer took to drain afterwards
+ * 2. the baseline for 1: one autocommitted UPDATE ... rating = rating + ? per bump
+ * 3. read-modify-write metadata updates through updateBook, retried on optimistic locking conflicts
+ *    (a different operation, shown for the conflict rate, not comparable with 1 and 2)
+ * Rates are over the measured elapsed time.
+ */
+@SpringBootTest(properties = {
+        "bookstore.search.index-dir=target/bench-book-index",
+        "spring.jpa.show-sql=false"
+})
+class WriteThroughputBenchmark {
+
+    private static final String DIRECT_BUMP_SQL =
+            "UPDATE books SET rating = LEAST(5.0, GREATEST(0.0, rating + ?)) WHERE id = ?";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private RatingWriteBehindBuffer ratingBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${bookstore.bench.writers:64}")
+    private int writers;
+
+    @Value("${bookstore.bench.hot-books:16}")
+    private int hotBooks;
+
+    @Value("${bookstore.bench.duration-seconds:10}")
+    private int durationSeconds;
+
+    @Test
+    void run() throws InterruptedException {
+        List<Long> ids = seedHotBooks();
+
+        runBufferedBumps(ids);
+
+        Result direct = runPhase(ids, (id, conflicts) -> jdbcTemplate.update(DIRECT_BUMP_SQL, 0.001, id));
+        System.out.printf("Direct rating bumps (one UPDATE each): %s%n", direct);
+
+        Result edits = runPhase(ids, (id, conflicts) -> {
+            while (true) {
+                BookResponseDto current = bookService.getBookById(id);
+                try {
+                    bookService.updateBook(id, toRequest(current));
+                    return;
+                } catch (ObjectOptimisticLockingFailureException ex) {
+                    conflicts.increment();
+                }
+            }
+        });
+        System.out.printf("Optimistic metadata updates: %s, %.2f conflicts per committed write%n",
+                edits, edits.writes == 0 ? 0.0 : (double) edits.conflicts / edits.writes);
+    }
+
+    private void runBufferedBumps(List<Long> ids) throws InterruptedException {
+        ratingBuffer.flush();
+        long rowsBefore = ratingBuffer.committedRows();
+        long batchesBefore = ratingBuffer.committedBatches();
+
+        // Sample the batch counter to find the longest stretch without a committed batch
+        AtomicBoolean writing = new AtomicBoolean(true);
+        long[] maxLagNanos = {0};
+        Thread sampler = new Thread(() -> {
+            long lastBatches = ratingBuffer.committedBatches();
+            long lastChange = System.nanoTime();
+            while (writing.get()) {
+                long batches = ratingBuffer.committedBatches();
+                long now = System.nanoTime();
+                if (batches != lastBatches) {
+                    lastBatches = batches;
+                    lastChange = now;
+                }
+                maxLagNanos[0] = Math.max(maxLagNanos[0], now - lastChange);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+        Result accepted = runPhase(ids, (id, conflicts) -> bookService.bumpRating(id, 0.001));
+        writing.set(false);
+        sampler.join();
+
+        // Let the scheduled flusher drain what the writers left, as it would in production
+        long drainStart = System.nanoTime();
+        while (ratingBuffer.pendingCount() > 0) {
+            Thread.sleep(1);
+        }
+        long drainNanos = System.nanoTime() - drainStart;
+
+        double seconds = (accepted.elapsedNanos + drainNanos) / 1e9;
+        long rows = ratingBuffer.committedRows() - rowsBefore;
+        long batches = ratingBuffer.committedBatches() - batchesBefore;
+        System.out.printf("Buffered rating bumps (accepted): %s%n", accepted);
+        System.out.printf("  committed %d rows in %d batches = %.0f rows/sec, %.1f batches/sec; "
+                        + "longest gap between batches %.0f ms, drain after writers stopped %.0f ms%n",
+                rows, batches, rows / seconds, batches / seconds, maxLagNanos[0] / 1e6, drainNanos / 1e6);
+    }
+
+    private List<Long> seedHotBooks() {
+        List<Long> ids = new ArrayList<>(hotBooks);
+        for (int i = 0; i < hotBooks; i++) {
+            BookRequestDto request = new BookRequestDto("Bench book " + i, "Bench", 100, 2.5, null, null);
+            ids.add(bookService.createBook(request).getId());
+        }
+        return ids;
+    }
+
+    private Result runPhase(List<Long> ids, Write write) throws InterruptedException {
+        LongAdder writes = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(writers);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (int i = 0; i < writers; i++) {
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            write.apply(ids.get(ThreadLocalRandom.current().nextInt(ids.size())), conflicts);
+                            writes.increment();
+                        } catch (RuntimeException ex) {
+                            // e.g. lock timeouts: count them and keep the writer alive
+                            errors.computeIfAbsent(ex.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        // Retry loops may run past the deadline, so rate over the measured time
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+        return new Result(writers, writes.sum(), conflicts.sum(), errors, elapsedNanos);
+    }
+
+    private static BookRequestDto toRequest(BookResponseDto book) {
+        return new BookRequestDto(book.getTitle(), book.getAuthor(), book.getPages() % 1000 + 1,
+                null, book.getDescription(), book.getVersion());
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void apply(Long id, LongAdder conflicts);
+    }
+
+    private record Result(int writers, long writes, long conflicts, Map<String, LongAdder> errors, long elapsedNanos) {
+
+        double perSecond() {
+            return writes / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d writers, %d writes in %.2fs = %.0f writes/sec, %d conflicts, errors %s",
+                    writers, writes, elapsedNanos / 1e9, perSecond(), conflicts, errors);
+        }
+    }
+}
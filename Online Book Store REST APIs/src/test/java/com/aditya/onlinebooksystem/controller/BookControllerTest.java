@@ -0,0 +1,160 @@
+package com.aditya.onlinebooksystem.controller;
+
+import com.aditya.onlinebooksystem.exception.InvalidRequestException;
+import com.aditya.onlinebooksystem.exception.RatingBufferFullException;
+import com.aditya.onlinebooksystem.mapper.BookMapper;
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
+import com.aditya.onlinebooksystem.service.impl.BookServiceImpl;
+import com.aditya.onlinebooksystem.service.impl.RatingWriteBehindBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Write endpoints through the real service and GlobalExceptionHandler, with the repository and buffer mocked
+ */
+@WebMvcTest(BookController.class)
+@Import({BookServiceImpl.class, BookMapper.class})
+class BookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @MockBean
+    private RatingWriteBehindBuffer ratingBuffer;
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    private static String updateBody(String version) {
+        return """
+                {"title": "New title", "author": "Author", "pages": 120, "rating": 0.5, "version": %s}
+                """.formatted(version);
+    }
+
+    private void givenStoredBook() {
+        Book book = new Book(1L, "Old title", "Author", 100, 4.2, null, 3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.saveAndFlush(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void putWithoutVersionIsBadRequest() throws Exception {
+        givenStoredBook();
+
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content(updateBody("null")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.version").exists());
+        verify(bookRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void putWithStaleVersionIsConflict() throws Exception {
+        givenStoredBook();
+
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content(updateBody("2")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Book was modified concurrently, reload and retry: 1"));
+    }
+
+    @Test
+    void putDoesNotChangeRating() throws Exception {
+        givenStoredBook();
+
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content(updateBody("3")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("New title"))
+                .andExpect(jsonPath("$.rating").value(4.2));
+    }
+
+    @Test
+    void deleteDropsThePendingRatingDelta() throws Exception {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+
+        mockMvc.perform(delete("/api/books/1")).andExpect(status().isNoContent());
+        verify(ratingBuffer).discard(1L);
+        verify(bookRepository).deleteById(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NaN", "Infinity", "-Infinity", "5.5", "-6", "1e9"})
+    void bumpWithInvalidDeltaIsBadRequest(String delta) throws Exception {
+        mockMvc.perform(post("/api/books/1/rating").param("delta", delta))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        verify(ratingBuffer, never()).bump(anyLong(), anyDouble());
+    }
+
+    @Test
+    void bumpIsAccepted() throws Exception {
+        mockMvc.perform(post("/api/books/1/rating").param("delta", "0.5")).andExpect(status().isAccepted());
+        verify(ratingBuffer).bump(1L, 0.5);
+    }
+
+    @Test
+    void bumpWhileTheBufferIsFullIsServiceUnavailable() throws Exception {
+        doThrow(new RatingBufferFullException("full")).when(ratingBuffer).bump(anyLong(), anyDouble());
+
+        mockMvc.perform(post("/api/books/1/rating").param("delta", "0.5"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void fullTextSearchReturnsBooksWithScores() throws Exception {
+        when(bookSearchIndex.search("java", null, null, 4.0, 20)).thenReturn(List.of(new BookSearchIndex.Hit(1L, 2.5f)));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(new Book(1L, "Java", "Author", 100, 4.2, null, 0L)));
+
+        mockMvc.perform(get("/api/books/search/text").param("q", "java").param("rating", "4.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].book.id").value(1))
+                .andExpect(jsonPath("$[0].score").value(2.5));
+    }
+
+    @Test
+    void fullTextSearchWithoutSearchableWordsIsBadRequest() throws Exception {
+        when(bookSearchIndex.search(anyString(), isNull(), isNull(), isNull(), anyInt()))
+                .thenThrow(new InvalidRequestException("Search query has no searchable words: !!!"));
+
+        mockMvc.perform(get("/api/books/search/text").param("q", "!!!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Search query has no searchable words: !!!"));
+    }
+
+    @Test
+    void fullTextSearchWithBlankQueryIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books/search/text").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.q").exists());
+    }
+}
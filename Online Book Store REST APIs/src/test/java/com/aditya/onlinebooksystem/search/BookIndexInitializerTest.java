@@ -0,0 +1,93 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookIndexInitializerTest {
+
+    private BookRepository bookRepository;
+    private BookSearchIndex bookSearchIndex;
+    private BookIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookSearchIndex = mock(BookSearchIndex.class);
+        initializer = new BookIndexInitializer(bookRepository, bookSearchIndex);
+        ReflectionTestUtils.setField(initializer, "rebuildOnStartup", false);
+    }
+
+    private static List<Book> books(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new Book(id, "Title", "Author", 100, 4.0, null, 0L))
+                .toList();
+    }
+
+    @Test
+    void trustsACleanlyClosedIndexWithTheSameBookCount() {
+        when(bookRepository.count()).thenReturn(3L);
+        when(bookSearchIndex.wasClosedCleanly()).thenReturn(true);
+        when(bookSearchIndex.count()).thenReturn(3L);
+
+        initializer.run(null);
+
+        verify(bookSearchIndex, never()).deleteAll();
+        verify(bookSearchIndex, never()).index(any());
+    }
+
+    @Test
+    void rebuildsAfterACrashEvenWithTheSameBookCount() {
+        when(bookRepository.count()).thenReturn(3L);
+        when(bookSearchIndex.wasClosedCleanly()).thenReturn(false);
+        when(bookSearchIndex.count()).thenReturn(3L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(1000))).thenReturn(books(1, 3));
+
+        initializer.run(null);
+
+        verify(bookSearchIndex).deleteAll();
+        verify(bookSearchIndex, times(3)).index(any());
+        verify(bookSearchIndex).commit();
+    }
+
+    @Test
+    void rebuildsWhenTheBookCountsDiffer() {
+        when(bookRepository.count()).thenReturn(3L);
+        when(bookSearchIndex.wasClosedCleanly()).thenReturn(true);
+        when(bookSearchIndex.count()).thenReturn(2L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(1000))).thenReturn(books(1, 3));
+
+        initializer.run(null);
+
+        verify(bookSearchIndex).deleteAll();
+        verify(bookSearchIndex, times(3)).index(any());
+    }
+
+    @Test
+    void rebuildPagesByIdUntilAShortPage() {
+        ReflectionTestUtils.setField(initializer, "rebuildOnStartup", true);
+        when(bookRepository.count()).thenReturn(1500L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(1000))).thenReturn(books(1, 1000));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(1000L, Limit.of(1000))).thenReturn(books(1001, 1500));
+
+        initializer.run(null);
+
+        verify(bookSearchIndex, times(1500)).index(any());
+        verify(bookRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        verify(bookSearchIndex).refresh();
+    }
+}
@@ -0,0 +1,103 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookResponseDto;
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+import com.aditya.onlinebooksystem.service.BookService;
+import com.aditya.onlinebooksystem.service.impl.RatingWriteBehindBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * BookIndexListener against the real application context: H2, JPA transactions and an index in target/
+ */
+@SpringBootTest(properties = {
+        "bookstore.search.index-dir=target/test-book-index",
+        "spring.jpa.show-sql=false"
+})
+class BookIndexListenerTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private RatingWriteBehindBuffer ratingBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private BookSearchIndex bookSearchIndex;
+
+    private Long createBook(String title, double rating) {
+        return bookService.createBook(new BookRequestDto(title, "Author", 100, rating, null, null)).getId();
+    }
+
+    @Test
+    void editDoesNotPutBackARatingFlushedWhileItWasInProgress() {
+        Long id = createBook("Raceword", 2.0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(id).orElseThrow(); // loads rating 2.0
+            ratingBuffer.bump(id, 2.0);
+            CompletableFuture.runAsync(ratingBuffer::flush).join(); // commits 4.0 and copies it into the index
+            book.setTitle("Raceword, second edition");
+        });
+        bookSearchIndex.refresh();
+
+        assertThat(bookSearchIndex.search("raceword edition", null, null, 3.5, 10))
+                .extracting(BookSearchIndex.Hit::id)
+                .containsExactly(id);
+    }
+
+    @Test
+    void rolledBackWriteIsNeverIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.saveAndFlush(new Book(null, "Rollbackword", "Author", 100, 3.0, null, null));
+            status.setRollbackOnly();
+        });
+        bookSearchIndex.refresh();
+
+        verify(bookSearchIndex, never()).index(argThat(book -> book != null && "Rollbackword".equals(book.getTitle())));
+        assertThat(bookSearchIndex.search("rollbackword", null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void deletedBookLeavesTheIndex() {
+        Long id = createBook("Deleteword", 3.0);
+        bookSearchIndex.refresh();
+        assertThat(bookSearchIndex.search("deleteword", null, null, null, 10)).hasSize(1);
+
+        bookService.deleteBook(id);
+        bookSearchIndex.refresh();
+        assertThat(bookSearchIndex.search("deleteword", null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void indexFailureMarksTheIndexStaleWithoutFailingTheWrite() {
+        doThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .when(bookSearchIndex).index(argThat(book -> book != null && "Failword".equals(book.getTitle())));
+
+        BookResponseDto created = bookService.createBook(new BookRequestDto("Failword", "Author", 100, 3.0, null, null));
+
+        assertThat(bookRepository.existsById(created.getId())).isTrue();
+        verify(bookSearchIndex).markStale();
+    }
+}
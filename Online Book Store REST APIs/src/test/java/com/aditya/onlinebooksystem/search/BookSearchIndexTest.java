@@ -0,0 +1,184 @@
+package com.aditya.onlinebooksystem.search;
+
+import com.aditya.onlinebooksystem.exception.InvalidRequestException;
+import com.aditya.onlinebooksystem.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private BookSearchIndex index;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    /** Index with the given books, refreshed so they are searchable */
+    private BookSearchIndex indexOf(Book... books) throws IOException {
+        index = open(indexDir);
+        for (Book book : books) {
+            index.index(book);
+        }
+        index.refresh();
+        return index;
+    }
+
+    private static List<Long> ids(List<BookSearchIndex.Hit> hits) {
+        return hits.stream().map(BookSearchIndex.Hit::id).toList();
+    }
+
+    private BookSearchIndex open(Path dir) throws IOException {
+        // Long intervals: nothing is refreshed or committed behind the test's back
+        return new BookSearchIndex(dir, 60_000, 60_000);
+    }
+
+    private static Book book(long id, String title, String author, String description, int pages, double rating) {
+        return new Book(id, title, author, pages, rating, description, 0L);
+    }
+
+    /** What a crash leaves behind: the files on disk at this moment, without the writer's close() */
+    private static Path crashCopy(Path dir, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().equals("write.lock")) {
+                    Files.copy(file, target.resolve(file.getFileName()));
+                }
+            }
+        }
+        return target;
+    }
+
+    @Test
+    void newIndexIsNotTrustedAndCleanCloseIs() throws IOException {
+        BookSearchIndex index = open(indexDir);
+        assertThat(index.wasClosedCleanly()).isFalse();
+        index.index(book(1, "Java", "Author", null, 100, 4.0));
+        index.close();
+
+        BookSearchIndex reopened = open(indexDir);
+        assertThat(reopened.wasClosedCleanly()).isTrue();
+        reopened.close();
+    }
+
+    @Test
+    void crashRightAfterOpeningACleanIndexIsDetected(@TempDir Path crashDir) throws IOException {
+        BookSearchIndex index = open(indexDir);
+        index.index(book(1, "Java", "Author", null, 100, 4.0));
+        index.close();
+
+        BookSearchIndex reopened = open(indexDir);
+        // An edit that keeps the book count, never committed by the periodic commit
+        reopened.index(book(1, "Kotlin", "Author", null, 100, 4.0));
+        Path crashed = crashCopy(indexDir, crashDir.resolve("index"));
+        reopened.close();
+
+        BookSearchIndex afterCrash = open(crashed);
+        assertThat(afterCrash.wasClosedCleanly()).isFalse();
+        afterCrash.close();
+    }
+
+    @Test
+    void staleIndexIsNotTrustedAfterACleanClose() throws IOException {
+        BookSearchIndex index = open(indexDir);
+        index.markStale();
+        index.close();
+
+        BookSearchIndex reopened = open(indexDir);
+        assertThat(reopened.wasClosedCleanly()).isFalse();
+        reopened.close();
+    }
+
+    @Test
+    void queryOperatorsAreSearchedAsPlainWords() throws IOException {
+        indexOf(book(1, "To Be Or Not To Be", "Author", null, 100, 4.0),
+                book(2, "Java", "Author", "Concurrency and collections", 100, 4.0),
+                book(3, "Kotlin", "Author", null, 100, 4.0));
+
+        assertThat(ids(index.search("NOT", null, null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("OR", null, null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("java AND", null, null, null, 10))).containsExactly(2L);
+        // "-" is not an exclusion: both words are searched for
+        assertThat(ids(index.search("java -kotlin", null, null, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void queryWithoutSearchableWordsIsRejected() throws IOException {
+        indexOf(book(1, "Java", "Author", null, 100, 4.0));
+
+        assertThatThrownBy(() -> index.search("!!! ??? -", null, null, null, 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void pagesAndRatingFiltersRestrictKeywordMatches() throws IOException {
+        indexOf(book(1, "Java basics", "Author", null, 150, 3.5),
+                book(2, "Java in depth", "Author", null, 400, 4.8),
+                book(3, "Java for teams", "Author", null, 420, 3.9),
+                book(4, "Kotlin in depth", "Author", null, 400, 4.9));
+
+        assertThat(ids(index.search("java", 300, null, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.search("java", null, 200, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("java", null, null, 4.0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("java", 300, 410, 4.5, 10))).containsExactly(2L);
+        assertThat(ids(index.search("java", 500, null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void titleMatchesOutrankAuthorMatchesWhichOutrankDescriptionMatches() throws IOException {
+        indexOf(book(1, "Tale", "Bob", "tolkien", 100, 4.0),
+                book(2, "Story", "Tolkien", "a tale", 100, 4.0),
+                book(3, "Tolkien", "Ann", "a story", 100, 4.0));
+
+        List<BookSearchIndex.Hit> hits = index.search("tolkien", null, null, null, 10);
+        assertThat(ids(hits)).containsExactly(3L, 2L, 1L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(hits.get(1).score()).isGreaterThan(hits.get(2).score());
+    }
+
+    @Test
+    void updateRatingMovesABookAcrossTheRatingFilter() throws IOException {
+        indexOf(book(1, "Java", "Author", null, 100, 2.0));
+        assertThat(ids(index.search("java", null, null, 4.0, 10))).isEmpty();
+
+        index.updateRating(1L, 4.5);
+        index.refresh();
+        assertThat(ids(index.search("java", null, null, 4.0, 10))).containsExactly(1L);
+
+        index.updateRating(1L, 3.0);
+        index.refresh();
+        assertThat(ids(index.search("java", null, null, 4.0, 10))).isEmpty();
+    }
+
+    @Test
+    void indexReplacesAndDeleteRemovesABook() throws IOException {
+        indexOf(book(1, "Java", "Author", null, 100, 4.0));
+
+        index.index(book(1, "Kotlin", "Author", null, 100, 4.0));
+        index.refresh();
+        assertThat(ids(index.search("java", null, null, null, 10))).isEmpty();
+        assertThat(ids(index.search("kotlin", null, null, null, 10))).containsExactly(1L);
+        assertThat(index.count()).isEqualTo(1);
+
+        index.delete(1L);
+        index.refresh();
+        assertThat(ids(index.search("kotlin", null, null, null, 10))).isEmpty();
+        assertThat(index.count()).isZero();
+    }
+}
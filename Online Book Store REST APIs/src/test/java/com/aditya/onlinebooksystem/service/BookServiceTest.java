@@ -0,0 +1,150 @@
+package com.aditya.onlinebooksystem.service;
+
+import com.aditya.onlinebooksystem.dto.BookRequestDto;
+import com.aditya.onlinebooksystem.dto.BookResponseDto;
+import com.aditya.onlinebooksystem.dto.BookSearchResultDto;
+import com.aditya.onlinebooksystem.dto.BookTextSearchRequestDto;
+import com.aditya.onlinebooksystem.exception.BookNotFoundException;
+import com.aditya.onlinebooksystem.exception.InvalidRequestException;
+import com.aditya.onlinebooksystem.mapper.BookMapper;
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
+import com.aditya.onlinebooksystem.service.impl.BookServiceImpl;
+import com.aditya.onlinebooksystem.service.impl.RatingWriteBehindBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookServiceTest {
+
+    private BookRepository bookRepository;
+    private RatingWriteBehindBuffer ratingBuffer;
+    private BookSearchIndex bookSearchIndex;
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        ratingBuffer = mock(RatingWriteBehindBuffer.class);
+        bookSearchIndex = mock(BookSearchIndex.class);
+        bookService = new BookServiceImpl(bookRepository, new BookMapper(), ratingBuffer, bookSearchIndex);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private Book storedBook() {
+        Book book = new Book(1L, "Old title", "Author", 100, 4.2, "Old description", 3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        return book;
+    }
+
+    @Test
+    void updateBookWithStaleVersionIsAConflict() {
+        storedBook();
+        BookRequestDto request = new BookRequestDto("New title", "Author", 120, null, null, 2L);
+
+        assertThatThrownBy(() -> bookService.updateBook(1L, request))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(bookRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateBookWithoutVersionIsAConflictNotAnOverwrite() {
+        storedBook();
+        BookRequestDto request = new BookRequestDto("New title", "Author", 120, null, null, null);
+
+        assertThatThrownBy(() -> bookService.updateBook(1L, request))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(bookRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateBookChangesMetadataButNotRating() {
+        storedBook();
+        BookRequestDto request = new BookRequestDto("New title", "New author", 120, 0.5, "New description", 3L);
+
+        BookResponseDto updated = bookService.updateBook(1L, request);
+
+        assertThat(updated.getTitle()).isEqualTo("New title");
+        assertThat(updated.getAuthor()).isEqualTo("New author");
+        assertThat(updated.getPages()).isEqualTo(120);
+        assertThat(updated.getDescription()).isEqualTo("New description");
+        assertThat(updated.getRating()).isEqualTo(4.2);
+    }
+
+    @Test
+    void updateUnknownBookIsNotFound() {
+        BookRequestDto request = new BookRequestDto("Title", "Author", 120, null, null, 0L);
+
+        assertThatThrownBy(() -> bookService.updateBook(9L, request)).isInstanceOf(BookNotFoundException.class);
+    }
+
+    @Test
+    void deleteBookDropsItsPendingRatingDeltaBeforeDeleting() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+
+        bookService.deleteBook(1L);
+
+        InOrder order = inOrder(ratingBuffer, bookRepository);
+        order.verify(ratingBuffer).discard(1L);
+        order.verify(bookRepository).deleteById(1L);
+    }
+
+    @Test
+    void deleteUnknownBookIsNotFound() {
+        assertThatThrownBy(() -> bookService.deleteBook(9L)).isInstanceOf(BookNotFoundException.class);
+        verify(ratingBuffer, never()).discard(anyLong());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 5.01, -5.01, 1e9})
+    void bumpRatingRejectsNonFiniteOrOversizedDeltas(double delta) {
+        assertThatThrownBy(() -> bookService.bumpRating(1L, delta)).isInstanceOf(InvalidRequestException.class);
+        verify(ratingBuffer, never()).bump(anyLong(), anyDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {5.0, -5.0, 0.1})
+    void bumpRatingBuffersValidDeltasWithoutReadingTheBook(double delta) {
+        bookService.bumpRating(1L, delta);
+
+        verify(ratingBuffer).bump(1L, delta);
+        verify(bookRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void fullTextSearchKeepsRelevanceOrderAndSkipsBooksDeletedSinceIndexing() {
+        BookTextSearchRequestDto request = new BookTextSearchRequestDto();
+        request.setQ("java");
+        request.setMinPages(100);
+        request.setRating(4.0);
+        when(bookSearchIndex.search("java", 100, null, 4.0, 20)).thenReturn(List.of(
+                new BookSearchIndex.Hit(3L, 9.5f), new BookSearchIndex.Hit(7L, 4.2f), new BookSearchIndex.Hit(1L, 1.1f)));
+        // The database returns rows in its own order, and book 7 is gone
+        when(bookRepository.findAllById(List.of(3L, 7L, 1L))).thenReturn(List.of(
+                new Book(1L, "Java basics", "Author", 150, 4.1, null, 0L),
+                new Book(3L, "Java in depth", "Author", 400, 4.8, null, 0L)));
+
+        List<BookSearchResultDto> results = bookService.fullTextSearch(request);
+
+        assertThat(results).extracting(result -> result.getBook().getId()).containsExactly(3L, 1L);
+        assertThat(results).extracting(BookSearchResultDto::getScore).containsExactly(9.5f, 1.1f);
+    }
+}
@@ -0,0 +1,221 @@
+package com.aditya.onlinebooksystem.service.impl;
+
+import com.aditya.onlinebooksystem.exception.RatingBufferFullException;
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RatingWriteBehindBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    /** Sum of all deltas the "database" has committed, per book */
+    private final Map<Long, Double> committed = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            synchronized (committed) {
+                batch.forEach(args -> committed.merge((Long) args[1], (Double) args[0], Double::sum));
+            }
+            return new int[batch.size()];
+        });
+    }
+
+    private RatingWriteBehindBuffer buffer(int maxBatchSize) {
+        return buffer(maxBatchSize, 100_000);
+    }
+
+    private RatingWriteBehindBuffer buffer(int maxBatchSize, int maxPendingBooks) {
+        return new RatingWriteBehindBuffer(jdbcTemplate, transactionTemplate, mock(BookSearchIndex.class),
+                maxBatchSize, maxPendingBooks, 60_000);
+    }
+
+    @Test
+    void coalescesDeltasPerBookIntoOneRowEach() {
+        RatingWriteBehindBuffer buffer = buffer(500);
+        buffer.bump(1L, 0.5);
+        buffer.bump(1L, 0.25);
+        buffer.bump(2L, -1.0);
+
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+        assertThat(buffer.flush()).isEqualTo(2);
+        assertThat(committed).containsOnly(Map.entry(1L, 0.75), Map.entry(2L, -1.0));
+        assertThat(buffer.pendingCount()).isZero();
+        assertThat(buffer.flush()).isZero();
+    }
+
+    @Test
+    void writesNoBatchLargerThanMaxBatchSize() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batchSizes.add(batch.size());
+            synchronized (committed) {
+                batch.forEach(args -> committed.merge((Long) args[1], (Double) args[0], Double::sum));
+            }
+            return new int[batch.size()];
+        });
+        RatingWriteBehindBuffer buffer = buffer(400);
+        for (long id = 1; id <= 999; id++) {
+            buffer.bump(id, 0.1);
+        }
+        buffer.flush(); // size-triggered flushes may have taken part of it already
+
+        assertThat(batchSizes).allMatch(size -> size <= 400);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(999);
+        assertThat(committed).hasSize(999);
+    }
+
+    @Test
+    void failedBatchIsMergedBackAndRetriedByTheNextFlush() {
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            if (failNext.getAndSet(false)) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(args -> committed.merge((Long) args[1], (Double) args[0], Double::sum));
+            return new int[batch.size()];
+        });
+        RatingWriteBehindBuffer buffer = buffer(500);
+        buffer.bump(1L, 0.5);
+        buffer.bump(2L, 1.0);
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(committed).isEmpty();
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+
+        // A bump arriving between the failure and the retry is coalesced with the returned delta
+        buffer.bump(1L, 0.25);
+        assertThat(buffer.flush()).isEqualTo(2);
+        assertThat(committed).containsOnly(Map.entry(1L, 0.75), Map.entry(2L, 1.0));
+    }
+
+    @Test
+    void fullBufferRejectsNewBooksButKeepsCoalescingPendingOnes() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new CannotAcquireLockException("db down"));
+        RatingWriteBehindBuffer buffer = buffer(500, 2);
+        buffer.bump(1L, 0.5);
+        buffer.bump(2L, 0.5);
+        assertThatThrownBy(buffer::flush).isInstanceOf(CannotAcquireLockException.class);
+
+        // Failed deltas are back in the buffer, which is now full
+        assertThatThrownBy(() -> buffer.bump(3L, 0.5)).isInstanceOf(RatingBufferFullException.class);
+        buffer.bump(1L, 0.5);
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failedFinalFlushOnShutdownDoesNotThrow() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new CannotAcquireLockException("db down"));
+        RatingWriteBehindBuffer buffer = buffer(500);
+        buffer.bump(1L, 0.5);
+
+        buffer.stop();
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reachingMaxBatchSizeTriggersAFlushWithoutWaitingForTheInterval() {
+        RatingWriteBehindBuffer buffer = buffer(3);
+        buffer.bump(1L, 0.1);
+        buffer.bump(2L, 0.1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        buffer.bump(3L, 0.1);
+        verify(jdbcTemplate, timeout(2_000)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void discardDropsPendingDeltaOfADeletedBook() {
+        RatingWriteBehindBuffer buffer = buffer(500);
+        buffer.bump(1L, 0.5);
+        buffer.bump(2L, 0.5);
+        buffer.discard(1L);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(committed).containsOnly(Map.entry(2L, 0.5));
+    }
+
+    @Test
+    void concurrentBumpsDiscardsAndFlushesNeverLoseOrDuplicateADelta() throws Exception {
+        RatingWriteBehindBuffer buffer = buffer(64);
+        int threads = 8;
+        int bumpsPerThread = 20_000;
+        long books = 50;
+        AtomicInteger bookZeroBumps = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < bumpsPerThread; i++) {
+                    buffer.bump(i % books + 1, 1.0);
+                }
+            }));
+        }
+        // Book 0 is bumped and discarded while flushes run: whatever is written for it must not be duplicated
+        Future<?> flusher = pool.submit(() -> {
+            while (writers.stream().anyMatch(f -> !f.isDone())) {
+                buffer.bump(0L, 1.0);
+                if (bookZeroBumps.incrementAndGet() % 2 == 0) {
+                    buffer.discard(0L);
+                }
+                buffer.flush();
+            }
+        });
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        flusher.get();
+        buffer.flush();
+        pool.shutdown();
+
+        assertThat(buffer.pendingCount()).isZero();
+        double total = 0;
+        for (long id = 1; id <= books; id++) {
+            total += committed.getOrDefault(id, 0.0);
+        }
+        assertThat(total).isCloseTo((double) threads * bumpsPerThread, within(1e-6));
+        assertThat(committed.getOrDefault(0L, 0.0)).isLessThanOrEqualTo(bookZeroBumps.get());
+    }
+}
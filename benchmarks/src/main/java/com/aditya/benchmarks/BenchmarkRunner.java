@@ -0,0 +1,63 @@
+package com.aditya.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of benchmarks.jar.
+ * Attaches the gc profiler (allocation rate per op) and writes JSON results to jmh-result.json
+ * unless the command line already says otherwise (-prof, -rf, -rff); every other regular
+ * JMH option (-p, -f, -wi, regex...) is passed through unchanged, and -h/-l/-lp/-lprof/-lrf
+ * print instead of running, as with JMH's own main class.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList() || cli.shouldListWithParams()) {
+            Runner runner = new Runner(cli);
+            if (cli.shouldListWithParams()) {
+                runner.listWithParams(cli);
+            } else {
+                runner.list();
+            }
+            return;
+        }
+        if (cli.shouldListProfilers()) {
+            cli.listProfilers();
+            return;
+        }
+        if (cli.shouldListResultFormats()) {
+            cli.listResultFormats();
+            return;
+        }
+
+        // Options set on the builder win over its parent, so only fill in what the command line left unset
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        boolean gcRequested = cli.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals("gc")
+                        || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcRequested) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(System.getProperty("jmh.result", "jmh-result.json"));
+        }
+        new Runner(options.build()).run();
+    }
+}
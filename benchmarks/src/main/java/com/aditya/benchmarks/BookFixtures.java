@@ -0,0 +1,115 @@
+package com.aditya.benchmarks;
+
+import com.aditya.onlinebooksystem.model.Book;
+import com.aditya.onlinebooksystem.repository.BookRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic book datasets and an in-memory BookRepository, so the service
+ * is measured without the Spring context or the database in the way.
+ */
+final class BookFixtures {
+
+    private static final String[] WORDS = {
+            "java", "spring", "clean", "code", "design", "patterns", "effective", "concurrency",
+            "practice", "pragmatic", "programmer", "stream", "reactive", "cloud", "testing", "refactoring"
+    };
+
+    private static final int ZIPF_VOCABULARY_SIZE = 50_000;
+
+    /** Cumulative Zipf(s = 1) probabilities of word ranks 0..ZIPF_VOCABULARY_SIZE-1 */
+    private static final double[] ZIPF_CDF = zipfCdf(ZIPF_VOCABULARY_SIZE);
+
+    /**
+     * Word distribution of generated titles and descriptions
+     */
+    enum Vocabulary {
+        /** The 16 WORDS, uniformly: every word is in almost every document (worst case for search) */
+        TINY,
+        /**
+         * 50,000 words with natural-language-like Zipf frequencies: WORDS are the 16 most frequent,
+         * then "term17", "term18"... So "java" is in most descriptions, "term100" in a few percent
+         * and "term5000" in well under 0.1%
+         */
+        ZIPF
+    }
+
+    private BookFixtures() {
+    }
+
+    static List<Book> books(int size) {
+        return stream(size).collect(Collectors.toCollection(() -> new ArrayList<>(size)));
+    }
+
+    /**
+     * Same books as books(size), generated lazily so large datasets need not fit in memory
+     */
+    static Stream<Book> stream(int size) {
+        return stream(size, Vocabulary.TINY);
+    }
+
+    static Stream<Book> stream(int size, Vocabulary vocabulary) {
+        Random random = new Random(42);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new Book(id,
+                        words(random, vocabulary, 3),
+                        "Author " + random.nextInt(size / 10 + 1),
+                        50 + random.nextInt(950),
+                        Math.round(random.nextDouble() * 50) / 10.0,
+                        words(random, vocabulary, 40),
+                        0L));
+    }
+
+    /**
+     * BookRepository whose findAll() returns the given list; everything else is unsupported
+     */
+    static BookRepository repositoryOf(List<Book> books) {
+        return (BookRepository) Proxy.newProxyInstance(
+                BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return books;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static String words(Random random, Vocabulary vocabulary, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary == Vocabulary.TINY ? WORDS[random.nextInt(WORDS.length)] : zipfWord(random));
+        }
+        return sb.toString();
+    }
+
+    private static String zipfWord(Random random) {
+        int rank = Arrays.binarySearch(ZIPF_CDF, random.nextDouble());
+        rank = rank >= 0 ? rank : Math.min(-rank - 1, ZIPF_CDF.length - 1);
+        return rank < WORDS.length ? WORDS[rank] : "term" + (rank + 1);
+    }
+
+    private static double[] zipfCdf(int size) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / (rank + 1);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+}
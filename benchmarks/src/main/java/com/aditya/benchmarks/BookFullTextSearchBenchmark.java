@@ -0,0 +1,81 @@
+package com.aditya.benchmarks;
+
+import com.aditya.onlinebooksystem.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * BookSearchIndex query latency (p50/p99/... via SampleTime) over an on-disk index of `docs` books.
+ * The index is built in a temp directory for every benchmark method and vocabulary (10 builds per run),
+ * so docs defaults to 100000; the 1M-document run is explicit: -p docs=1000000, a few minutes of setup per build.
+ *
+ * With the ZIPF vocabulary the queries range from a word in most documents ("java") to selective
+ * ones ("term100", "term5000"), like real keyword searches. TINY is the worst case: 16 words, so
+ * "java" and the multi-word query match nearly every document (the term* words match none).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookFullTextSearchBenchmark {
+
+    @Param({"100000"})
+    private int docs;
+
+    @Param({"ZIPF", "TINY"})
+    private String vocabulary;
+
+    private Path indexDir;
+    private BookSearchIndex index;
+
+    @Setup
+    public void setup() throws IOException {
+        indexDir = Files.createTempDirectory("book-index-bench");
+        index = new BookSearchIndex(indexDir, 100, 5000);
+        BookFixtures.stream(docs, BookFixtures.Vocabulary.valueOf(vocabulary)).forEach(index::index);
+        index.commit();
+        index.refresh();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+        try (Stream<Path> files = Files.walk(indexDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> commonKeyword() {
+        return index.search("java", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> selectiveKeyword() {
+        return index.search("term100", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> rareKeyword() {
+        return index.search("term5000", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> multipleKeywords() {
+        return index.search("effective java term100 term5000", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> keywordsWithFilters() {
+        return index.search("clean code term100", 300, 450, 4.5, 20);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aditya.benchmarks;
+
+import com.aditya.onlinebooksystem.dto.BookResponseDto;
+import com.aditya.onlinebooksystem.mapper.BookMapper;
+import com.aditya.onlinebooksystem.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookMapper.toDto for a single book and for a whole result list
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BookMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int books;
+
+    private BookMapper bookMapper;
+    private List<Book> dataset;
+    private Book single;
+
+    @Setup
+    public void setup() {
+        bookMapper = new BookMapper();
+        dataset = BookFixtures.books(books);
+        single = dataset.get(0);
+    }
+
+    @Benchmark
+    public BookResponseDto toDto() {
+        return bookMapper.toDto(single);
+    }
+
+    @Benchmark
+    public void toDtoAll(Blackhole bh) {
+        for (Book book : dataset) {
+            bh.consume(bookMapper.toDto(book));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.aditya.benchmarks;
+
+import com.aditya.onlinebooksystem.dto.BookFilterRequestDto;
+import com.aditya.onlinebooksystem.dto.BookResponseDto;
+import com.aditya.onlinebooksystem.mapper.BookMapper;
+import com.aditya.onlinebooksystem.service.impl.BookServiceImpl;
+import com.aditya.onlinebooksystem.service.impl.RatingWriteBehindBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookServiceImpl.filterAndSearchBooks over an in-memory repository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BookServiceBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int books;
+
+    private BookServiceImpl bookService;
+    private BookFilterRequestDto selective;
+    private BookFilterRequestDto titleOnly;
+    private BookFilterRequestDto empty;
+
+    @Setup
+    public void setup() {
+        // filterAndSearchBooks touches neither the write-behind buffer nor the search index
+        bookService = new BookServiceImpl(
+                BookFixtures.repositoryOf(BookFixtures.books(books)),
+                new BookMapper(),
+                new RatingWriteBehindBuffer(null, null, null, 500, 100_000, 200),
+                null);
+        selective = new BookFilterRequestDto(300, 450, 4.5, null);
+        titleOnly = new BookFilterRequestDto(null, null, null, "Java");
+        empty = new BookFilterRequestDto();
+    }
+
+    @Benchmark
+    public List<BookResponseDto> pagesAndRating() {
+        return bookService.filterAndSearchBooks(selective);
+    }
+
+    @Benchmark
+    public List<BookResponseDto> titleSearch() {
+        return bookService.filterAndSearchBooks(titleOnly);
+    }
+
+    @Benchmark
+    public List<BookResponseDto> noFilter() {
+        return bookService.filterAndSearchBooks(empty);
+    }
+}
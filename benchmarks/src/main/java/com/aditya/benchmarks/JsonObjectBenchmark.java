@@ -0,0 +1,69 @@
+package com.aditya.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aditya.benchmarks.RootClasses.*;
+
+/**
+ * CustomJackson.JsonObject.printJson over a tree of `breadth` children per object, `depth` levels deep.
+ * System.out is swapped for a discarding stream, so the score is the cost of walking
+ * the tree and formatting lines rather than of the console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonObjectBenchmark {
+
+    @Param({"4", "8"})
+    private int breadth;
+
+    @Param({"2", "4"})
+    private int depth;
+
+    private Object root;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() throws Throwable {
+        root = tree(depth);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void printJson() throws Throwable {
+        JSON_OBJECT_PRINT.invokeExact(root, 0);
+    }
+
+    private Object tree(int level) throws Throwable {
+        Object node = NEW_JSON_OBJECT.invokeExact();
+        JSON_OBJECT_PUT.invokeExact(node, "name", (Object) ("node-" + level));
+        JSON_OBJECT_PUT.invokeExact(node, "level", (Object) level);
+        if (level == 0) {
+            List<Object> tags = new ArrayList<>();
+            for (int i = 0; i < breadth; i++) {
+                tags.add("tag-" + i);
+            }
+            JSON_OBJECT_PUT.invokeExact(node, "tags", (Object) tags);
+            return node;
+        }
+        for (int i = 0; i < breadth; i++) {
+            JSON_OBJECT_PUT.invokeExact(node, "child" + i, tree(level - 1));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,59 @@
+package com.aditya.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.aditya.benchmarks.RootClasses.*;
+
+/**
+ * MaxHeap (CustomMaxHeap.java) push/pop.
+ * pushPop keeps the heap at a steady size, so it measures one push + one pop at depth log(size);
+ * buildHeap measures pushing the whole dataset into an empty heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MaxHeapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private int[] values;
+    private Object heap;
+    private int next;
+
+    @Setup
+    public void setup() throws Throwable {
+        values = new Random(42).ints(size).toArray();
+        heap = NEW_MAX_HEAP.invokeExact();
+        for (int value : values) {
+            MAX_HEAP_PUSH.invokeExact(heap, value);
+        }
+    }
+
+    @Benchmark
+    public int pushPop() throws Throwable {
+        int value = values[next];
+        next = next + 1 == size ? 0 : next + 1;
+        MAX_HEAP_PUSH.invokeExact(heap, value);
+        return (int) MAX_HEAP_POP.invokeExact(heap);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object buildHeap() throws Throwable {
+        Object fresh = NEW_MAX_HEAP.invokeExact();
+        for (int value : values) {
+            MAX_HEAP_PUSH.invokeExact(fresh, value);
+        }
+        return fresh;
+    }
+}
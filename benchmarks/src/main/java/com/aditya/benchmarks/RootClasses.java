@@ -0,0 +1,62 @@
+package com.aditya.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Handles to the demo classes at the repo root (MaxHeap in CustomMaxHeap.java,
+ * CustomJackson.JsonObject in CustomJackson.java).
+ *
+ * Those classes live in the default package and are package-private, which a named
+ * package cannot reference (and JMH refuses benchmarks in the default package),
+ * so they are reached through static final MethodHandles, which the JIT inlines.
+ */
+final class RootClasses {
+
+    static final MethodHandle NEW_MAX_HEAP;
+    static final MethodHandle MAX_HEAP_PUSH;
+    static final MethodHandle MAX_HEAP_POP;
+
+    static final MethodHandle NEW_JSON_OBJECT;
+    static final MethodHandle JSON_OBJECT_PUT;
+    static final MethodHandle JSON_OBJECT_PRINT;
+
+    static {
+        try {
+            Class<?> maxHeap = Class.forName("MaxHeap");
+            NEW_MAX_HEAP = constructor(maxHeap).asType(MethodType.methodType(Object.class));
+            MAX_HEAP_PUSH = method(maxHeap, "push", int.class)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class));
+            MAX_HEAP_POP = method(maxHeap, "pop")
+                    .asType(MethodType.methodType(int.class, Object.class));
+
+            Class<?> jsonObject = Class.forName("CustomJackson$JsonObject");
+            NEW_JSON_OBJECT = constructor(jsonObject).asType(MethodType.methodType(Object.class));
+            JSON_OBJECT_PUT = method(jsonObject, "put", String.class, Object.class)
+                    .asType(MethodType.methodType(void.class, Object.class, String.class, Object.class));
+            JSON_OBJECT_PRINT = method(jsonObject, "printJson", int.class)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private RootClasses() {
+    }
+
+    private static MethodHandle constructor(Class<?> type) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+
+    private static MethodHandle method(Class<?> type, String name, Class<?>... parameterTypes)
+            throws ReflectiveOperationException {
+        Method method = type.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return MethodHandles.lookup().unreflect(method);
+    }
+}
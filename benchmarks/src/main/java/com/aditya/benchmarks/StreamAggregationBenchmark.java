@@ -0,0 +1,110 @@
+package com.aditya.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The Collectors aggregations from LearningStream.java, run over generated inputs.
+ * They are commented-out snippets inside LearningStream.main, so the pipelines are reproduced
+ * here verbatim (Q-numbers match) rather than called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StreamAggregationBenchmark {
+
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales", "Legal"};
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private String text;
+    private List<String> words;
+    private List<Integer> nums;
+    private List<Employee> employees;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        text = random.ints(size, 'a', 'z' + 1)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+        words = IntStream.range(0, size)
+                .mapToObj(i -> text.substring(i % (size - 8), i % (size - 8) + 1 + random.nextInt(8)))
+                .toList();
+        nums = random.ints(size, 0, 1000).boxed().toList();
+        employees = IntStream.range(0, size)
+                .mapToObj(i -> new Employee("Employee" + i, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]))
+                .toList();
+    }
+
+    // Q1. Character Frequency
+    @Benchmark
+    public Map<Character, Long> characterFrequency() {
+        return text.chars()
+                .mapToObj(ch -> (char) ch)
+                .collect(Collectors.groupingBy(ch -> ch, Collectors.counting()));
+    }
+
+    // Q2. Word Frequency
+    @Benchmark
+    public Map<String, Long> wordFrequency() {
+        return words.stream()
+                .collect(Collectors.groupingBy(word -> word, Collectors.counting()));
+    }
+
+    // Q6. Count Words by Length
+    @Benchmark
+    public Map<Integer, Long> countWordsByLength() {
+        return words.stream()
+                .collect(Collectors.groupingBy(String::length, Collectors.counting()));
+    }
+
+    // Q8. Group Numbers by Even/Odd
+    @Benchmark
+    public Map<Boolean, List<Integer>> groupEvenOdd() {
+        return nums.stream()
+                .collect(Collectors.groupingBy(x -> x % 2 == 0));
+    }
+
+    // Q10. Group Employees by Department and Count
+    @Benchmark
+    public Map<String, Long> employeesPerDepartment() {
+        return employees.stream()
+                .collect(Collectors.groupingBy(Employee::department, Collectors.counting()));
+    }
+
+    // Q11. Group Employees by Department → Names Only
+    @Benchmark
+    public Map<String, List<String>> employeeNamesByDepartment() {
+        return employees.stream()
+                .collect(Collectors.groupingBy(
+                        Employee::department,
+                        Collectors.mapping(Employee::name, Collectors.toList())));
+    }
+
+    // Q12. Find the Most Frequent Character in a String
+    @Benchmark
+    public Character mostFrequentCharacter() {
+        return text.chars()
+                .mapToObj(ch -> (char) ch)
+                .collect(Collectors.groupingBy(ch -> ch, Collectors.counting()))
+                .entrySet()
+                .stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow()
+                .getKey();
+    }
+
+    record Employee(String name, String department) {
+    }
+}